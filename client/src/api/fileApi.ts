@@ -139,13 +139,16 @@ export const uploadFile = async (file: File, path: string): Promise<void> => {
 
 export const forceAction = async (action: 'rename' | 'copy' | 'move' | 'upload', sourcePath: string | null, targetPath: string | null, newName: string | null, file: File | null): Promise<void> => {
     try {
+        // action и пути передаются в строке запроса: сервер определяет операцию до чтения тела
         const formData = new FormData();
-        formData.append('action', action);
-        if (sourcePath) formData.append('sourcePath', sourcePath);
-        if (targetPath) formData.append('targetPath', targetPath);
-        if (newName) formData.append('newName', newName);
         if (file) formData.append('file', file);
         await apiClient.post('/api/files/force', formData, {
+            params: {
+                action,
+                sourcePath: sourcePath || undefined,
+                targetPath: targetPath || undefined,
+                newName: newName || undefined,
+            },
             headers: {
                 'Content-Type': 'multipart/form-data',
             },
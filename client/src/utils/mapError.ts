@@ -8,6 +8,8 @@ export const mapErrorMessage = (status?: number, fallback = 'Неизвестн
             return 'Доступ запрещён';
         case 404:
             return 'Файл или директория не найдены';
+        case 429:
+            return 'Сервер перегружен, повторите попытку позже';
         case 500:
             return 'Внутренняя ошибка сервера';
         default:
@@ -0,0 +1,20 @@
+package com.filesystem.server.load;
+
+enum Endpoint {
+    LIST("GET /api/files"),
+    PREVIEW("GET /api/files/content"),
+    UPLOAD("POST /api/files/upload"),
+    COPY("POST /api/files/copy/force"),
+    MOVE("POST /api/files/move"),
+    DELETE("DELETE /api/files");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    String getRoute() {
+        return route;
+    }
+}
@@ -0,0 +1,81 @@
+package com.filesystem.server.load;
+
+import java.util.Arrays;
+
+// Статистика одного клиента по одному эндпоинту; объединяется после завершения прогона
+final class EndpointStats {
+    static final int IO_ERROR = -1;
+    static final int TIMEOUT = -2;
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+    private long timeouts;
+    private long rejected;
+    private long extra;
+    private boolean sorted;
+
+    void record(long latencyNanos, int status, boolean extraRequest) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        sorted = false;
+        if (extraRequest) {
+            extra++;
+        }
+        if (status == 429) {
+            rejected++;
+        } else if (status < 200 || status >= 300) {
+            errors++;
+            if (status == TIMEOUT) {
+                timeouts++;
+            }
+        }
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        timeouts += other.timeouts;
+        rejected += other.rejected;
+        extra += other.extra;
+        sorted = false;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long timeouts() {
+        return timeouts;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    long extra() {
+        return extra;
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latenciesNanos, 0, count);
+            sorted = true;
+        }
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+}
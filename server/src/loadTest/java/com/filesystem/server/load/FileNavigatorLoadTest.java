@@ -0,0 +1,182 @@
+package com.filesystem.server.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Логирование настраивается до применения @DynamicPropertySource, поэтому его параметры заданы здесь
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.filesystem.server=${load.logLevel:WARN}",
+        "logging.file.name=${java.io.tmpdir}/file-navigator-load.log"
+})
+class FileNavigatorLoadTest {
+    private static final LoadSettings settings = new LoadSettings();
+    private static Path workDir;
+    private static SyntheticTree tree;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        workDir = Files.createTempDirectory("file-navigator-load");
+        tree = SyntheticTree.generate(workDir.resolve("root"), settings.treeDepth, settings.treeFanout,
+                settings.treeFilesPerDir, settings.treeFileSize);
+        registry.add("filesystem.root-path", () -> tree.root.toString());
+        registry.add("filesystem.admission.enabled", () -> settings.admission);
+        // все клиенты идут с loopback: доверяем их X-Client-Id, чтобы лимиты считались по клиентам
+        registry.add("filesystem.admission.trusted-proxies", () -> "127.0.0.1,0:0:0:0:0:0:0:1");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        if (workDir == null) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(workDir)) {
+            walk.sorted((a, b) -> -a.compareTo(b)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void replayMixedTraffic() throws Exception {
+        for (int i = 0; i < settings.clients; i++) {
+            Files.createDirectories(tree.root.resolve(LoadClient.scratchDir(i)).resolve("inbox"));
+            Files.createDirectories(tree.root.resolve(LoadClient.scratchDir(i)).resolve("outbox"));
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String baseUrl = "http://localhost:" + port;
+
+        long now = System.nanoTime();
+        long measureStart = now + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+        long deadline = measureStart + TimeUnit.SECONDS.toNanos(settings.durationSeconds);
+        List<LoadClient> clients = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        HeapSampler heap = new HeapSampler();
+        JvmSnapshot before;
+        JvmSnapshot after;
+        double elapsedSeconds;
+        try {
+            for (int i = 0; i < settings.clients; i++) {
+                LoadClient client = new LoadClient(i, http, baseUrl, tree, settings, measureStart, deadline);
+                clients.add(client);
+                executor.submit(client);
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measureStart - System.nanoTime()));
+            before = JvmSnapshot.take();
+            sampler.scheduleAtFixedRate(heap, 0, 100, TimeUnit.MILLISECONDS);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(settings.durationSeconds + settings.requestTimeoutSeconds + 30L,
+                    TimeUnit.SECONDS), "Load clients did not finish in time");
+            elapsedSeconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+            after = JvmSnapshot.take();
+        } finally {
+            executor.shutdownNow();
+            sampler.shutdownNow();
+        }
+
+        Map<Endpoint, EndpointStats> totals = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats merged = new EndpointStats();
+            clients.forEach(client -> merged.merge(client.stats().get(endpoint)));
+            totals.put(endpoint, merged);
+        }
+
+        int leakedFiles = clients.stream().mapToInt(LoadClient::leakedFiles).sum();
+        String report = buildReport(totals, elapsedSeconds, before, after, heap.peak, leakedFiles);
+        System.out.println(report);
+        Files.createDirectories(settings.reportDir);
+        Files.writeString(settings.reportDir.resolve("load-report.txt"), report);
+
+        long requests = totals.values().stream().mapToLong(EndpointStats::count).sum();
+        long errors = totals.values().stream().mapToLong(EndpointStats::errors).sum();
+        assertTrue(requests > 0, "No requests were completed during the measurement window");
+        assertTrue((double) errors / requests <= settings.maxErrorRate,
+                "Error rate " + errors + "/" + requests + " exceeds load.maxErrorRate=" + settings.maxErrorRate);
+    }
+
+    private String buildReport(Map<Endpoint, EndpointStats> totals, double elapsedSeconds,
+                               JvmSnapshot before, JvmSnapshot after, long heapPeak, int leakedFiles) {
+        StringBuilder report = new StringBuilder();
+        report.append("File Navigator load test: ").append(settings).append('\n');
+        report.append(String.format("Tree: %d directories, %d files; measured %.1f s%n",
+                tree.directories.size(), tree.files.size(), elapsedSeconds));
+        report.append(String.format("%-28s %9s %9s %7s %8s %7s %7s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "timeouts", "429", "extra", "p50 ms", "p99 ms", "p999 ms"));
+        long totalRequests = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : totals.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            totalRequests += stats.count();
+            report.append(String.format("%-28s %9d %9.1f %7d %8d %7d %7d %9.2f %9.2f %9.2f%n",
+                    entry.getKey().getRoute(), stats.count(), stats.count() / elapsedSeconds,
+                    stats.errors(), stats.timeouts(), stats.rejected(), stats.extra(), stats.percentileMillis(0.50),
+                    stats.percentileMillis(0.99), stats.percentileMillis(0.999)));
+        }
+        report.append(String.format("Total throughput: %.1f req/s%n", totalRequests / elapsedSeconds));
+        report.append("extra: housekeeping deletes and uploads issued in place of move/delete, included in requests\n");
+        report.append(String.format("Scratch files left on disk after failed housekeeping deletes: %d%n", leakedFiles));
+        report.append("Heap/GC below cover the whole JVM: the load clients run in the same process as the server\n");
+        report.append(String.format("Heap: used %d MB, sampled peak %d MB, max %d MB%n",
+                after.heapUsed >> 20, heapPeak >> 20, after.heapMax >> 20));
+        for (Map.Entry<String, long[]> gc : after.collectors.entrySet()) {
+            long[] start = before.collectors.getOrDefault(gc.getKey(), new long[2]);
+            report.append(String.format("GC %-24s %6d collections %8d ms%n",
+                    gc.getKey(), gc.getValue()[0] - start[0], gc.getValue()[1] - start[1]));
+        }
+        return report.toString();
+    }
+
+    // Пики отдельных пулов памяти достигаются в разное время, поэтому пик кучи снимается опросом
+    private static final class HeapSampler implements Runnable {
+        private volatile long peak;
+
+        @Override
+        public void run() {
+            peak = Math.max(peak, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+    }
+
+    private static final class JvmSnapshot {
+        final Map<String, long[]> collectors = new LinkedHashMap<>();
+        long heapUsed;
+        long heapMax;
+
+        static JvmSnapshot take() {
+            JvmSnapshot snapshot = new JvmSnapshot();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                snapshot.collectors.put(gc.getName(), new long[]{gc.getCollectionCount(), gc.getCollectionTime()});
+            }
+            snapshot.heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            snapshot.heapMax = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+            return snapshot;
+        }
+    }
+}
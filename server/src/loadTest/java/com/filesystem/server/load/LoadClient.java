@@ -0,0 +1,226 @@
+package com.filesystem.server.load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Один виртуальный пользователь: выполняет запросы по весам из load.mix до истечения deadline.
+// Изменяющие операции работают только в собственном каталоге load/client-N, поэтому клиенты не конфликтуют.
+// Число своих файлов ограничено load.maxOwnedFiles, чтобы объём дерева не рос за время прогона.
+// Служебные запросы (удаление лишних файлов, загрузка вместо move/delete при пустом каталоге)
+// учитываются в статистике фактического эндпоинта отдельным счётчиком extra.
+final class LoadClient implements Runnable {
+    private final int id;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final SyntheticTree tree;
+    private final Endpoint[] weightedEndpoints;
+    private final Random random;
+    private final int maxOwnedFiles;
+    private final Duration requestTimeout;
+    private final long measureStartNanos;
+    private final long deadlineNanos;
+    private final String inbox;
+    private final String outbox;
+    private final Deque<String> inboxFiles = new ArrayDeque<>();
+    private final Deque<String> outboxFiles = new ArrayDeque<>();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private int uploadSequence;
+    private int leakedFiles;
+
+    LoadClient(int id, HttpClient http, String baseUrl, SyntheticTree tree, LoadSettings settings,
+               long measureStartNanos, long deadlineNanos) {
+        this.id = id;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.tree = tree;
+        this.weightedEndpoints = expandMix(settings.mix);
+        this.random = new Random(settings.seed + id);
+        this.maxOwnedFiles = settings.maxOwnedFiles;
+        this.requestTimeout = Duration.ofSeconds(settings.requestTimeoutSeconds);
+        this.measureStartNanos = measureStartNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.inbox = scratchDir(id) + "/inbox";
+        this.outbox = scratchDir(id) + "/outbox";
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    static String scratchDir(int id) {
+        return "load/client-" + id;
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    int leakedFiles() {
+        return leakedFiles;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            switch (endpoint) {
+                case LIST:
+                    list();
+                    break;
+                case PREVIEW:
+                    preview();
+                    break;
+                case UPLOAD:
+                    upload(false);
+                    break;
+                case COPY:
+                    copy();
+                    break;
+                case MOVE:
+                    move();
+                    break;
+                case DELETE:
+                    delete(false);
+                    break;
+            }
+            while (inboxFiles.size() + outboxFiles.size() > maxOwnedFiles && !Thread.currentThread().isInterrupted()) {
+                if (delete(true) == 429) {
+                    // уборка откладывается до следующей итерации, чтобы не долбить сервер
+                    break;
+                }
+            }
+        }
+    }
+
+    private void list() {
+        String dir = pick(tree.directories);
+        send(Endpoint.LIST, false, HttpRequest.newBuilder(uri("/api/files?path=" + encode(dir) + "&limit=100")).GET());
+    }
+
+    private void preview() {
+        String file = pick(tree.files);
+        send(Endpoint.PREVIEW, false, HttpRequest.newBuilder(uri("/api/files/content?path=" + encode(file))).GET());
+    }
+
+    private void upload(boolean extra) {
+        String name = "upload-" + id + "-" + (uploadSequence++) + ".txt";
+        String boundary = "----load-" + id + "-" + uploadSequence;
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/files/upload?path=" + encode(inbox)))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody(boundary, name, tree.content())));
+        if (isSuccess(send(Endpoint.UPLOAD, extra, request))) {
+            inboxFiles.add(name);
+        }
+    }
+
+    private void copy() {
+        String file = pick(tree.files);
+        String name = file.substring(file.lastIndexOf('/') + 1);
+        if (isSuccess(send(Endpoint.COPY, false, HttpRequest.newBuilder(uri("/api/files/copy/force?sourcePath="
+                + encode(file) + "&targetPath=" + encode(outbox))).POST(HttpRequest.BodyPublishers.noBody())))
+                && !outboxFiles.contains(name)) {
+            outboxFiles.add(name);
+        }
+    }
+
+    private void move() {
+        if (inboxFiles.isEmpty()) {
+            upload(true);
+            return;
+        }
+        String name = inboxFiles.peek();
+        if (isSuccess(send(Endpoint.MOVE, false, HttpRequest.newBuilder(uri("/api/files/move?sourcePath="
+                + encode(inbox + "/" + name) + "&targetPath=" + encode(outbox)))
+                .POST(HttpRequest.BodyPublishers.noBody())))) {
+            inboxFiles.poll();
+            outboxFiles.add(name);
+        }
+    }
+
+    // Возвращает статус ответа. При 429 файл остаётся в списке и будет удалён позже; при прочих ошибках
+    // служебного удаления файл перестаёт учитываться, чтобы не зациклиться, и считается утёкшим.
+    private int delete(boolean extra) {
+        Deque<String> owned = !outboxFiles.isEmpty() ? outboxFiles : inboxFiles;
+        if (owned.isEmpty()) {
+            upload(true);
+            return 0;
+        }
+        String dir = owned == outboxFiles ? outbox : inbox;
+        int status = send(Endpoint.DELETE, extra, HttpRequest.newBuilder(uri("/api/files?path="
+                + encode(dir + "/" + owned.peek()))).DELETE());
+        if (isSuccess(status)) {
+            owned.poll();
+        } else if (extra && status != 429) {
+            owned.poll();
+            leakedFiles++;
+        }
+        return status;
+    }
+
+    private int send(Endpoint endpoint, boolean extra, HttpRequest.Builder request) {
+        request.header("X-Client-Id", "load-client-" + id).timeout(requestTimeout);
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (HttpTimeoutException e) {
+            status = EndpointStats.TIMEOUT;
+        } catch (IOException e) {
+            status = EndpointStats.IO_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EndpointStats.IO_ERROR;
+        }
+        if (start >= measureStartNanos) {
+            stats.get(endpoint).record(System.nanoTime() - start, status, extra);
+        }
+        return status;
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create(baseUrl + pathAndQuery);
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Endpoint[] expandMix(Map<Endpoint, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Endpoint[]::new);
+    }
+
+    private static byte[] multipartBody(String boundary, String fileName, byte[] content) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        String header = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n";
+        body.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,55 @@
+package com.filesystem.server.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Параметры нагрузочного теста; переопределяются через -Dload.<name>=<value>
+final class LoadSettings {
+    final int clients = intProperty("clients", 32);
+    final int warmupSeconds = intProperty("warmupSeconds", 5);
+    final int durationSeconds = intProperty("durationSeconds", 30);
+    final int maxOwnedFiles = intProperty("maxOwnedFiles", 16);
+    final int requestTimeoutSeconds = intProperty("requestTimeoutSeconds", 30);
+    final long seed = Long.getLong("load.seed", 42L);
+    final boolean admission = Boolean.parseBoolean(System.getProperty("load.admission", "false"));
+    final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    final Map<Endpoint, Integer> mix = parseMix(
+            System.getProperty("load.mix", "list=50,preview=25,upload=8,copy=7,move=5,delete=5"));
+    final int treeDepth = intProperty("tree.depth", 3);
+    final int treeFanout = intProperty("tree.fanout", 4);
+    final int treeFilesPerDir = intProperty("tree.filesPerDir", 20);
+    final int treeFileSize = intProperty("tree.fileSize", 4096);
+    final Path reportDir = Paths.get(System.getProperty("load.reportDir", "build/reports/load"));
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("load." + name, defaultValue);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must contain at least one positive weight");
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + clients + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s"
+                + ", mix=" + mix + ", tree=" + treeDepth + "x" + treeFanout + "x" + treeFilesPerDir
+                + " files of " + treeFileSize + "B, maxOwnedFiles=" + maxOwnedFiles
+                + ", requestTimeout=" + requestTimeoutSeconds + "s, admission=" + admission + ", seed=" + seed;
+    }
+}
@@ -0,0 +1,51 @@
+package com.filesystem.server.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Детерминированное дерево: depth уровней, fanout подкаталогов и filesPerDir файлов в каждом каталоге
+final class SyntheticTree {
+    final Path root;
+    final List<String> directories = new ArrayList<>();
+    final List<String> files = new ArrayList<>();
+    private final byte[] content;
+
+    private SyntheticTree(Path root, int fileSize) {
+        this.root = root;
+        this.content = new byte[fileSize];
+        Arrays.fill(content, (byte) 'a');
+    }
+
+    static SyntheticTree generate(Path root, int depth, int fanout, int filesPerDir, int fileSize) throws IOException {
+        SyntheticTree tree = new SyntheticTree(root, fileSize);
+        Files.createDirectories(root);
+        tree.fill("", depth, fanout, filesPerDir);
+        return tree;
+    }
+
+    private void fill(String relativeDir, int depth, int fanout, int filesPerDir) throws IOException {
+        directories.add(relativeDir);
+        Path dir = root.resolve(relativeDir);
+        for (int i = 0; i < filesPerDir; i++) {
+            String name = "file-" + i + ".txt";
+            Files.write(dir.resolve(name), content);
+            files.add(relativeDir.isEmpty() ? name : relativeDir + "/" + name);
+        }
+        if (depth == 0) {
+            return;
+        }
+        for (int i = 0; i < fanout; i++) {
+            String child = (relativeDir.isEmpty() ? "" : relativeDir + "/") + "dir-" + i;
+            Files.createDirectories(root.resolve(child));
+            fill(child, depth - 1, fanout, filesPerDir);
+        }
+    }
+
+    byte[] content() {
+        return content;
+    }
+}
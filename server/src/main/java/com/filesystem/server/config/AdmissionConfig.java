@@ -0,0 +1,26 @@
+package com.filesystem.server.config;
+
+import com.filesystem.server.service.AdmissionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+    private final AdmissionService admissionService;
+    private final AdmissionProperties properties;
+
+    public AdmissionConfig(AdmissionService admissionService, AdmissionProperties properties) {
+        this.admissionService = admissionService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // без шаблонов путей: интерсептор сам отбирает запросы по обработчику FileController
+        registry.addInterceptor(new AdmissionInterceptor(admissionService, properties));
+    }
+}
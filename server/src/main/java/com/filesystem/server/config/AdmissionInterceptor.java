@@ -0,0 +1,141 @@
+package com.filesystem.server.config;
+
+import com.filesystem.server.controller.FileController;
+import com.filesystem.server.model.OperationType;
+import com.filesystem.server.service.AdmissionRejectedException;
+import com.filesystem.server.service.AdmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Multipart разбирается лениво (spring.servlet.multipart.resolve-lazily), поэтому тело загрузки
+// читается только после допуска. action берётся из строки запроса: getParameter() запустил бы разбор тела.
+// Операция определяется по найденному Spring обработчику, а не по URI: так ';'-параметры
+// и percent-кодирование в пути не позволяют обойти контроль.
+public class AdmissionInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionInterceptor.class);
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionService admissionService;
+    private final AdmissionProperties properties;
+
+    public AdmissionInterceptor(AdmissionService admissionService, AdmissionProperties properties) {
+        this.admissionService = admissionService;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)
+                || ((HandlerMethod) handler).getBeanType() != FileController.class) {
+            return true;
+        }
+        OperationType operation = resolveOperation(((HandlerMethod) handler).getMethod().getName(),
+                parseQuery(request.getQueryString()).get("action"));
+        String clientId = resolveClientId(request);
+        try {
+            request.setAttribute(PERMIT_ATTRIBUTE, admissionService.acquire(clientId, operation));
+            return true;
+        } catch (AdmissionRejectedException e) {
+            logger.warn("Rejected {} from client '{}': {}", operation, clientId, e.getMessage());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdmissionService.Permit) {
+            ((AdmissionService.Permit) permit).close();
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+        }
+    }
+
+    // Заголовок с идентификатором клиента принимается только от доверенных прокси
+    private String resolveClientId(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (properties.getTrustedProxies().contains(remoteAddr)) {
+            String clientId = request.getHeader(properties.getClientIdHeader());
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId.trim();
+            }
+        }
+        return remoteAddr;
+    }
+
+    // Неизвестный метод контроллера считается самой тяжёлой операцией, а не пропускается без контроля
+    private OperationType resolveOperation(String handlerMethod, String action) {
+        switch (handlerMethod) {
+            case "listFiles":
+                return OperationType.LIST;
+            case "getFileContent":
+                return OperationType.PREVIEW;
+            case "delete":
+                return OperationType.DELETE;
+            case "rename":
+            case "forceRename":
+                return OperationType.RENAME;
+            case "copy":
+            case "forceCopy":
+                return OperationType.COPY;
+            case "move":
+            case "forceMove":
+                return OperationType.MOVE;
+            case "uploadFile":
+            case "forceUpload":
+                return OperationType.UPLOAD;
+            case "forceAction":
+                return resolveForcedOperation(action);
+            default:
+                return OperationType.COPY;
+        }
+    }
+
+    // Клиент передаёт action в строке запроса; если он только в multipart-теле, до допуска его не прочитать,
+    // и запрос учитывается как копирование — самая дорогая из принудительных операций
+    private OperationType resolveForcedOperation(String action) {
+        if (action == null) {
+            return OperationType.COPY;
+        }
+        switch (action) {
+            case "rename":
+                return OperationType.RENAME;
+            case "move":
+                return OperationType.MOVE;
+            case "upload":
+                return OperationType.UPLOAD;
+            default:
+                return OperationType.COPY;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String queryString) {
+        Map<String, String> params = new HashMap<>();
+        if (queryString == null || queryString.isEmpty()) {
+            return params;
+        }
+        for (String pair : queryString.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator >= 0 ? pair.substring(0, separator) : pair, StandardCharsets.UTF_8);
+            String value = separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8) : "";
+            params.putIfAbsent(name, value);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,43 @@
+package com.filesystem.server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "filesystem.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private String clientIdHeader = "X-Client-Id";
+    private List<String> trustedProxies = new ArrayList<>();
+    private long millisPerToken = 10;
+    private int maxTrackedClients = 10_000;
+    private long bucketIdleTimeoutMs = 60_000;
+    private ClassLimits interactive = new ClassLimits(16, 64, 2000, 100, 50);
+    private ClassLimits bulk = new ClassLimits(2, 8, 500, 200, 20);
+
+    @Data
+    public static class ClassLimits {
+        private int maxConcurrent;
+        private int queueCapacity;
+        private long queueTimeoutMs;
+        private long bucketCapacity;
+        private long refillPerSecond;
+
+        public ClassLimits() {
+        }
+
+        public ClassLimits(int maxConcurrent, int queueCapacity, long queueTimeoutMs,
+                           long bucketCapacity, long refillPerSecond) {
+            this.maxConcurrent = maxConcurrent;
+            this.queueCapacity = queueCapacity;
+            this.queueTimeoutMs = queueTimeoutMs;
+            this.bucketCapacity = bucketCapacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.filesystem.server.model;
+
+public enum OperationType {
+    LIST(IoClass.INTERACTIVE),
+    PREVIEW(IoClass.INTERACTIVE),
+    RENAME(IoClass.BULK),
+    DELETE(IoClass.BULK),
+    COPY(IoClass.BULK),
+    MOVE(IoClass.BULK),
+    UPLOAD(IoClass.BULK);
+
+    public enum IoClass {
+        INTERACTIVE,
+        BULK
+    }
+
+    private final IoClass ioClass;
+
+    OperationType(IoClass ioClass) {
+        this.ioClass = ioClass;
+    }
+
+    public IoClass getIoClass() {
+        return ioClass;
+    }
+}
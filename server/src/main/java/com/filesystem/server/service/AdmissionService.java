@@ -0,0 +1,149 @@
+package com.filesystem.server.service;
+
+import com.filesystem.server.config.AdmissionProperties;
+import com.filesystem.server.model.OperationType;
+import com.filesystem.server.model.OperationType.IoClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class AdmissionService {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionService.class);
+
+    private final AdmissionProperties properties;
+    private final Map<IoClass, Lane> lanes = new EnumMap<>(IoClass.class);
+    // LRU по последнему обращению: размер ограничен, простаивающие корзины удаляются с «хвоста»
+    private final LinkedHashMap<String, TokenBucket> buckets;
+
+    public AdmissionService(AdmissionProperties properties) {
+        this.properties = properties;
+        lanes.put(IoClass.INTERACTIVE, new Lane(IoClass.INTERACTIVE, properties.getInteractive()));
+        lanes.put(IoClass.BULK, new Lane(IoClass.BULK, properties.getBulk()));
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > properties.getMaxTrackedClients();
+            }
+        };
+    }
+
+    // Допуск стоит один токен и не трогает диск. Реальная стоимость — время, которое операция
+    // занимала место в очереди, — списывается при закрытии разрешения и тормозит следующие запросы клиента.
+    public Permit acquire(String clientId, OperationType operation) {
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(clientId + ":" + operation, limitsFor(operation.getIoClass()), now);
+        long retryAfter = bucket.tryTake(now);
+        if (retryAfter > 0) {
+            logger.debug("Rate limit exceeded for client '{}' on {}", clientId, operation);
+            throw new AdmissionRejectedException("Rate limit exceeded for " + operation, retryAfter);
+        }
+
+        Lane lane = lanes.get(operation.getIoClass());
+        lane.enter(operation);
+        return new Permit(lane, bucket, properties.getMillisPerToken());
+    }
+
+    private AdmissionProperties.ClassLimits limitsFor(IoClass ioClass) {
+        return ioClass == IoClass.INTERACTIVE ? properties.getInteractive() : properties.getBulk();
+    }
+
+    private TokenBucket bucketFor(String key, AdmissionProperties.ClassLimits limits, long now) {
+        synchronized (buckets) {
+            long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBucketIdleTimeoutMs());
+            Iterator<TokenBucket> eldest = buckets.values().iterator();
+            while (eldest.hasNext() && eldest.next().isIdle(now, idleNanos)) {
+                eldest.remove();
+            }
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(limits.getBucketCapacity(), limits.getRefillPerSecond(), now);
+                buckets.put(key, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    public static class Permit implements AutoCloseable {
+        private final Lane lane;
+        private final TokenBucket bucket;
+        private final long millisPerToken;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane, TokenBucket bucket, long millisPerToken) {
+            this.lane = lane;
+            this.bucket = bucket;
+            this.millisPerToken = millisPerToken;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                lane.leave();
+                long now = System.nanoTime();
+                if (millisPerToken > 0) {
+                    bucket.charge(TimeUnit.NANOSECONDS.toMillis(now - startNanos) / millisPerToken, now);
+                }
+            }
+        }
+    }
+
+    // Ограниченная очередь: не более maxConcurrent операций выполняются, не более queueCapacity ждут
+    private static class Lane {
+        private final IoClass ioClass;
+        private final Semaphore running;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final int queueCapacity;
+        private final long queueTimeoutMs;
+
+        Lane(IoClass ioClass, AdmissionProperties.ClassLimits limits) {
+            this.ioClass = ioClass;
+            this.running = new Semaphore(limits.getMaxConcurrent(), true);
+            this.queueCapacity = limits.getQueueCapacity();
+            this.queueTimeoutMs = limits.getQueueTimeoutMs();
+        }
+
+        void enter(OperationType operation) {
+            try {
+                // tryAcquire с таймаутом соблюдает честность семафора и не обгоняет ждущих
+                if (running.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                if (waiting.incrementAndGet() > queueCapacity) {
+                    waiting.decrementAndGet();
+                    logger.debug("{} queue is full, rejecting {}", ioClass, operation);
+                    throw new AdmissionRejectedException("Server is busy: " + ioClass + " queue is full", retryAfterSeconds());
+                }
+                try {
+                    if (!running.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        logger.debug("{} queue timeout, rejecting {}", ioClass, operation);
+                        throw new AdmissionRejectedException("Server is busy: " + ioClass + " queue timeout", retryAfterSeconds());
+                    }
+                } finally {
+                    waiting.decrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException("Interrupted while waiting in " + ioClass + " queue", retryAfterSeconds());
+            }
+        }
+
+        void leave() {
+            running.release();
+        }
+
+        private long retryAfterSeconds() {
+            return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(queueTimeoutMs));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.filesystem.server.service;
+
+// Баланс может уйти в минус (не ниже -capacity): запрос допускается за один токен,
+// а его оценённая стоимость списывается после допуска и тормозит следующие запросы клиента.
+class TokenBucket {
+    private final long capacity;
+    private final long refillPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(long capacity, long refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    // Возвращает 0, если токен списан, иначе — через сколько секунд он появится.
+    // refillPerSecond <= 0 отключает ограничение.
+    synchronized long tryTake(long nowNanos) {
+        if (refillPerSecond <= 0) {
+            return 0;
+        }
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerSecond));
+    }
+
+    synchronized void charge(long cost, long nowNanos) {
+        if (refillPerSecond <= 0 || cost <= 0) {
+            return;
+        }
+        refill(nowNanos);
+        tokens = Math.max(-capacity, tokens - cost);
+    }
+
+    synchronized boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - lastRefillNanos >= idleNanos;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerSecond / 1_000_000_000.0);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
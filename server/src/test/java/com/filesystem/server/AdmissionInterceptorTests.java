@@ -0,0 +1,129 @@
+package com.filesystem.server;
+
+import com.filesystem.server.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "filesystem.root-path=${java.io.tmpdir}/admission-test-root",
+        "filesystem.admission.interactive.max-concurrent=1",
+        "filesystem.admission.interactive.queue-capacity=0",
+        "filesystem.admission.interactive.bucket-capacity=1",
+        "filesystem.admission.interactive.refill-per-second=1",
+        "filesystem.admission.bulk.max-concurrent=1",
+        "filesystem.admission.bulk.queue-capacity=0",
+        "filesystem.admission.bulk.bucket-capacity=1",
+        "filesystem.admission.bulk.refill-per-second=1"
+})
+class AdmissionInterceptorTests {
+    private static final AtomicInteger nextClient = new AtomicInteger(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FileService fileService;
+
+    private RequestPostProcessor client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path root = fileService.resolveFilePath("");
+        Files.createDirectories(root.resolve("target"));
+        if (!Files.exists(root.resolve("a.txt"))) {
+            Files.createFile(root.resolve("a.txt"));
+        }
+        // отдельный адрес на каждый тест: корзины не переживают тест
+        String address = "10.0.0." + nextClient.getAndIncrement();
+        client = request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    @Test
+    void list_overLimit_shouldReturn429WithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/files").with(client)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/files").with(client))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void copy_overLimit_shouldReturn429ForEveryCopyRoute() throws Exception {
+        mockMvc.perform(post("/api/files/copy/force?sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/files/copy?sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(post("/api/files/force?action=copy&sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void list_withPathParameter_shouldNotBypassLimit() throws Exception {
+        mockMvc.perform(get("/api/files").with(client)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/files;x=1").with(client))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void preview_withPercentEncodedPath_shouldNotBypassLimit() throws Exception {
+        mockMvc.perform(get("/api/files/content?path=a.txt").with(client)).andExpect(status().isOk());
+        mockMvc.perform(get(URI.create("/api/files/%63ontent?path=a.txt")).with(client))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void copy_withPathParameter_shouldNotBypassLimit() throws Exception {
+        mockMvc.perform(post("/api/files/copy/force?sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/files/copy;x=1?sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void forceAction_withActionInBody_shouldBeCountedAsCopy() throws Exception {
+        mockMvc.perform(post("/api/files/copy/force?sourcePath=a.txt&targetPath=target").with(client))
+                .andExpect(status().isOk());
+        mockMvc.perform(multipart("/api/files/force").with(client)
+                        .param("action", "move").param("sourcePath", "a.txt").param("targetPath", "target"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void completedRequest_shouldReleaseLanePermit() throws Exception {
+        mockMvc.perform(get("/api/files").with(client)).andExpect(status().isOk());
+        RequestPostProcessor other = request -> {
+            request.setRemoteAddr("10.1.0." + nextClient.getAndIncrement());
+            return request;
+        };
+        mockMvc.perform(get("/api/files").with(other)).andExpect(status().isOk());
+    }
+
+    @Test
+    void clientIdHeader_fromUntrustedAddress_shouldBeIgnored() throws Exception {
+        mockMvc.perform(get("/api/files").with(client).header("X-Client-Id", "first"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/files").with(client).header("X-Client-Id", "second"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
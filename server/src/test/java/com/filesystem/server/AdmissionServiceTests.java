@@ -0,0 +1,80 @@
+package com.filesystem.server;
+
+import com.filesystem.server.config.AdmissionProperties;
+import com.filesystem.server.model.OperationType;
+import com.filesystem.server.service.AdmissionRejectedException;
+import com.filesystem.server.service.AdmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionServiceTests {
+
+    private AdmissionProperties properties;
+    private AdmissionService admissionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setMillisPerToken(10);
+        properties.setInteractive(new AdmissionProperties.ClassLimits(2, 0, 10, 5, 1));
+        properties.setBulk(new AdmissionProperties.ClassLimits(1, 0, 10, 10, 1));
+        admissionService = new AdmissionService(properties);
+    }
+
+    @Test
+    void acquire_slowRequest_shouldChargeElapsedTimeAndRejectNext() throws InterruptedException {
+        AdmissionService.Permit permit = admissionService.acquire("client", OperationType.LIST);
+        Thread.sleep(80);
+        permit.close();
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class,
+                () -> admissionService.acquire("client", OperationType.LIST));
+        assertTrue(exception.getRetryAfterSeconds() >= 2, "Retry-After should cover the accumulated debt");
+    }
+    @Test
+    void acquire_bucketsArePerClientAndOperation() {
+        for (int i = 0; i < 5; i++) {
+            admissionService.acquire("client", OperationType.LIST).close();
+        }
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionService.acquire("client", OperationType.LIST));
+        assertDoesNotThrow(() -> admissionService.acquire("other", OperationType.LIST).close());
+        assertDoesNotThrow(() -> admissionService.acquire("client", OperationType.PREVIEW).close());
+    }
+
+    @Test
+    void acquire_trackedClientsAreBounded() {
+        properties.setMaxTrackedClients(2);
+        for (int i = 0; i < 5; i++) {
+            admissionService.acquire("a", OperationType.LIST).close();
+        }
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionService.acquire("a", OperationType.LIST));
+        admissionService.acquire("b", OperationType.LIST).close();
+        admissionService.acquire("c", OperationType.LIST).close();
+        assertDoesNotThrow(() -> admissionService.acquire("a", OperationType.LIST).close(),
+                "Least recently used bucket should have been evicted");
+    }
+
+    @Test
+    void acquire_bulkLaneFull_shouldNotBlockInteractive() {
+        AdmissionService.Permit bulk = admissionService.acquire("a", OperationType.COPY);
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionService.acquire("b", OperationType.COPY));
+        assertDoesNotThrow(() -> admissionService.acquire("b", OperationType.LIST).close());
+        bulk.close();
+        assertDoesNotThrow(() -> admissionService.acquire("b", OperationType.MOVE).close());
+    }
+
+    @Test
+    void permit_closeTwice_shouldReleaseOnce() {
+        AdmissionService.Permit permit = admissionService.acquire("a", OperationType.COPY);
+        permit.close();
+        permit.close();
+        AdmissionService.Permit next = admissionService.acquire("b", OperationType.COPY);
+        assertThrows(AdmissionRejectedException.class,
+                () -> admissionService.acquire("c", OperationType.COPY));
+        next.close();
+    }
+}